@@ -0,0 +1,98 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * Fills missing tokenized or raw numbers of existing fund_ach_information rows from rows holding the full pair,
+ * the set based equivalent of the back-filling done by fund_ach_information_update_function.
+ * Walks the table in id ranges, one short transaction per range, so it can run against a live table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AchInformationBackfillJob {
+
+    private static final String FILL_TOKENIZED_SQL = """
+            UPDATE fund_ach_information target
+            SET tokenized_account_number = source.tokenized_account_number,
+                tokenized_routing_number = source.tokenized_routing_number
+            FROM fund_ach_information t
+            CROSS JOIN LATERAL (
+                SELECT s.tokenized_account_number, s.tokenized_routing_number
+                FROM fund_ach_information s
+                WHERE s.account_number = t.account_number
+                  AND s.routing_number = t.routing_number
+                  AND s.tokenized_account_number IS NOT NULL
+                  AND s.tokenized_routing_number IS NOT NULL
+                LIMIT 1
+            ) source
+            WHERE target.id = t.id
+              AND t.id BETWEEN ? AND ?
+              AND t.tokenized_account_number IS NULL
+              AND t.tokenized_routing_number IS NULL
+            """;
+
+    private static final String FILL_RAW_SQL = """
+            UPDATE fund_ach_information target
+            SET account_number = source.account_number,
+                routing_number = source.routing_number
+            FROM fund_ach_information t
+            CROSS JOIN LATERAL (
+                SELECT s.account_number, s.routing_number
+                FROM fund_ach_information s
+                WHERE s.tokenized_account_number = t.tokenized_account_number
+                  AND s.tokenized_routing_number = t.tokenized_routing_number
+                  AND s.account_number IS NOT NULL
+                  AND s.routing_number IS NOT NULL
+                LIMIT 1
+            ) source
+            WHERE target.id = t.id
+              AND t.id BETWEEN ? AND ?
+              AND t.account_number IS NULL
+              AND t.routing_number IS NULL
+            """;
+
+    @Data
+    public static class Result {
+        private int tokenizedFilled;
+        private int rawFilled;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final AchTokenizationProperties properties;
+
+    public Result run() {
+        AchTokenizationProperties.Backfill backfill = properties.getBackfill();
+        Result result = new Result();
+
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT min(id) AS min_id, max(id) AS max_id FROM fund_ach_information");
+        if (bounds.get("min_id") == null) {
+            return result;
+        }
+        long minId = ((Number) bounds.get("min_id")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+
+        TransactionTemplate transactionTemplate = new BoundedTransactionTemplate(transactionManager, jdbcTemplate, backfill);
+
+        for (long start = minId; start <= maxId; start += backfill.getBatchSize()) {
+            long from = start;
+            long to = Math.min(start + backfill.getBatchSize() - 1, maxId);
+            transactionTemplate.executeWithoutResult(status -> {
+                result.setTokenizedFilled(result.getTokenizedFilled() + jdbcTemplate.update(FILL_TOKENIZED_SQL, from, to));
+                result.setRawFilled(result.getRawFilled() + jdbcTemplate.update(FILL_RAW_SQL, from, to));
+            });
+        }
+
+        log.info("ACH information backfill finished: tokenizedFilled={}, rawFilled={}", result.getTokenizedFilled(), result.getRawFilled());
+        return result;
+    }
+}
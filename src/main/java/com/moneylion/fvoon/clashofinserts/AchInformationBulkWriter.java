@@ -0,0 +1,82 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the fund_ach_information rows of a batch of fund options in one statement, in place of
+ * fund_ach_information_insert_trigger. All calls must run in the transaction inserting the fund options.
+ */
+@Component
+@RequiredArgsConstructor
+public class AchInformationBulkWriter {
+
+    /**
+     * Read by the WHEN clause of fund_ach_information_insert_trigger. The setting lasts until the end of the
+     * transaction, so it must be restored before any other fund option insert in the same transaction.
+     */
+    private static final String SKIP_INSERT_TRIGGER_SQL = "SELECT set_config('clash_of_inserts.ach_information_writer', 'application', true)";
+    private static final String RESTORE_INSERT_TRIGGER_SQL = "SELECT set_config('clash_of_inserts.ach_information_writer', '', true)";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO fund_ach_information (
+                fund_id, account_number, routing_number,
+                tokenized_account_number, tokenized_routing_number
+            )
+            SELECT * FROM unnest(?::bigint[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[])
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AchTokenMappingService achTokenMappingService;
+
+    public void skipInsertTrigger() {
+        jdbcTemplate.queryForObject(SKIP_INSERT_TRIGGER_SQL, String.class);
+    }
+
+    public void restoreInsertTrigger() {
+        jdbcTemplate.queryForObject(RESTORE_INSERT_TRIGGER_SQL, String.class);
+    }
+
+    public int insert(List<FundOption> fundOptions) {
+        List<FundOption> achFundOptions = fundOptions.stream()
+                .filter(fundOption -> FundOptionTypes.ACH.equals(fundOption.getType()))
+                .toList();
+        if (achFundOptions.isEmpty()) {
+            return 0;
+        }
+
+        List<AchNumbers> numbers = achFundOptions.stream().map(AchNumbers::of).toList();
+        Map<AchNumbers, AchNumbers> counterparts = achTokenMappingService.resolve(numbers);
+
+        List<Long> fundIds = new ArrayList<>();
+        List<String> accountNumbers = new ArrayList<>();
+        List<String> routingNumbers = new ArrayList<>();
+        List<String> tokenizedAccountNumbers = new ArrayList<>();
+        List<String> tokenizedRoutingNumbers = new ArrayList<>();
+        for (int i = 0; i < achFundOptions.size(); i++) {
+            AchNumbers given = numbers.get(i);
+            AchNumbers counterpart = counterparts.get(given);
+            AchNumbers raw = given.isTokenized() ? counterpart : given;
+            AchNumbers tokenized = given.isTokenized() ? given : counterpart;
+
+            fundIds.add(achFundOptions.get(i).getId());
+            accountNumbers.add(raw == null ? null : raw.getAccountNumber());
+            routingNumbers.add(raw == null ? null : raw.getRoutingNumber());
+            tokenizedAccountNumbers.add(tokenized == null ? null : tokenized.getAccountNumber());
+            tokenizedRoutingNumbers.add(tokenized == null ? null : tokenized.getRoutingNumber());
+        }
+
+        return jdbcTemplate.update(INSERT_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", fundIds.toArray()));
+            ps.setArray(2, ps.getConnection().createArrayOf("varchar", accountNumbers.toArray()));
+            ps.setArray(3, ps.getConnection().createArrayOf("varchar", routingNumbers.toArray()));
+            ps.setArray(4, ps.getConnection().createArrayOf("varchar", tokenizedAccountNumbers.toArray()));
+            ps.setArray(5, ps.getConnection().createArrayOf("varchar", tokenizedRoutingNumbers.toArray()));
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import lombok.Value;
+
+import java.util.Optional;
+
+/**
+ * Account and routing number of an ACH fund option, either raw or tokenized.
+ */
+@Value
+public class AchNumbers {
+
+    String accountNumber;
+    String routingNumber;
+    boolean tokenized;
+
+    /**
+     * Same test as fund_ach_information_insert_function: the details hold raw numbers when the account number
+     * ends with the identifier, tokenized ones otherwise.
+     */
+    public static AchNumbers of(FundOption fundOption) {
+        String accountNumber = Optional.ofNullable(fundOption.getDetails()).map(FundDetails::getBankAccountNumber).orElse(null);
+        String routingNumber = Optional.ofNullable(fundOption.getDetails()).map(FundDetails::getBankRoutingNumber).orElse(null);
+        boolean raw = accountNumber != null
+                && fundOption.getIdentifier() != null
+                && accountNumber.endsWith(fundOption.getIdentifier());
+        return new AchNumbers(accountNumber, routingNumber, !raw);
+    }
+
+    public boolean isComplete() {
+        return accountNumber != null && routingNumber != null;
+    }
+}
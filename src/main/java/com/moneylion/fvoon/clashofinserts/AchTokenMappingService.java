@@ -0,0 +1,115 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Resolves raw ACH numbers to their tokenized counterpart and back, for a whole batch of fund options in one query,
+ * instead of the per-row lookups of fund_ach_information_insert_function.
+ * <p>
+ * Pairs are cached for {@code fund-option.ach-tokenization.cache-ttl}. fund_ach_information_update_function can
+ * rewrite a pair when an account number changes, and until the entry expires the bulk path keeps writing the old
+ * counterpart, where the trigger would have read the current one.
+ */
+@Service
+public class AchTokenMappingService {
+
+    /**
+     * Only rows carrying both sides of the pair are useful as a mapping source. Two joins rather than one
+     * {@code IN ... OR IN ...} filter, so each side can use its account number index instead of scanning the table.
+     */
+    private static final String FIND_PAIRS_SQL = """
+            SELECT f.account_number, f.routing_number, f.tokenized_account_number, f.tokenized_routing_number
+            FROM unnest(?::varchar[], ?::varchar[]) AS r(account_number, routing_number)
+            JOIN fund_ach_information f ON f.account_number = r.account_number AND f.routing_number = r.routing_number
+            WHERE f.account_number IS NOT NULL
+              AND f.routing_number IS NOT NULL
+              AND f.tokenized_account_number IS NOT NULL
+              AND f.tokenized_routing_number IS NOT NULL
+            UNION ALL
+            SELECT f.account_number, f.routing_number, f.tokenized_account_number, f.tokenized_routing_number
+            FROM unnest(?::varchar[], ?::varchar[]) AS t(account_number, routing_number)
+            JOIN fund_ach_information f ON f.tokenized_account_number = t.account_number AND f.tokenized_routing_number = t.routing_number
+            WHERE f.account_number IS NOT NULL
+              AND f.routing_number IS NOT NULL
+              AND f.tokenized_account_number IS NOT NULL
+              AND f.tokenized_routing_number IS NOT NULL
+            """;
+
+    private record CachedPair(AchNumbers counterpart, long expiresAtNanos) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long cacheTtlNanos;
+    private final Map<AchNumbers, CachedPair> cache;
+
+    public AchTokenMappingService(JdbcTemplate jdbcTemplate, AchTokenizationProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheTtlNanos = properties.getCacheTtl().toNanos();
+        int cacheSize = properties.getCacheSize();
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AchNumbers, CachedPair> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Counterparts of the given numbers; numbers without a known counterpart are left out.
+     */
+    public Map<AchNumbers, AchNumbers> resolve(Collection<AchNumbers> numbers) {
+        Map<AchNumbers, AchNumbers> resolved = new HashMap<>();
+        Set<AchNumbers> misses = new LinkedHashSet<>();
+        for (AchNumbers number : numbers) {
+            if (!number.isComplete()) {
+                continue;
+            }
+            CachedPair cached = cache.get(number);
+            if (cached != null && System.nanoTime() - cached.expiresAtNanos() < 0) {
+                resolved.put(number, cached.counterpart());
+            } else {
+                misses.add(number);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<AchNumbers, AchNumbers> found = findPairs(misses);
+            long expiresAtNanos = System.nanoTime() + cacheTtlNanos;
+            found.forEach((number, counterpart) -> cache.put(number, new CachedPair(counterpart, expiresAtNanos)));
+            misses.stream()
+                    .filter(found::containsKey)
+                    .forEach(number -> resolved.put(number, found.get(number)));
+        }
+        return resolved;
+    }
+
+    private Map<AchNumbers, AchNumbers> findPairs(Set<AchNumbers> numbers) {
+        List<String> rawAccounts = new ArrayList<>();
+        List<String> rawRoutings = new ArrayList<>();
+        List<String> tokenizedAccounts = new ArrayList<>();
+        List<String> tokenizedRoutings = new ArrayList<>();
+        for (AchNumbers number : numbers) {
+            (number.isTokenized() ? tokenizedAccounts : rawAccounts).add(number.getAccountNumber());
+            (number.isTokenized() ? tokenizedRoutings : rawRoutings).add(number.getRoutingNumber());
+        }
+
+        Map<AchNumbers, AchNumbers> pairs = new HashMap<>();
+        jdbcTemplate.query(FIND_PAIRS_SQL,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("varchar", rawAccounts.toArray()));
+                    ps.setArray(2, ps.getConnection().createArrayOf("varchar", rawRoutings.toArray()));
+                    ps.setArray(3, ps.getConnection().createArrayOf("varchar", tokenizedAccounts.toArray()));
+                    ps.setArray(4, ps.getConnection().createArrayOf("varchar", tokenizedRoutings.toArray()));
+                },
+                rs -> {
+                    AchNumbers raw = new AchNumbers(rs.getString("account_number"), rs.getString("routing_number"), false);
+                    AchNumbers tokenized = new AchNumbers(rs.getString("tokenized_account_number"), rs.getString("tokenized_routing_number"), true);
+                    pairs.putIfAbsent(raw, tokenized);
+                    pairs.putIfAbsent(tokenized, raw);
+                });
+        return pairs;
+    }
+}
@@ -0,0 +1,23 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(AchTokenizationProperties.class)
+public class AchTokenizationConfiguration {
+
+    /**
+     * Registered even when the backfill is disabled, see the README on Spring AOT.
+     */
+    @Bean
+    ApplicationRunner achInformationBackfillRunner(AchInformationBackfillJob job, AchTokenizationProperties properties) {
+        return args -> {
+            if (properties.getBackfill().isEnabled()) {
+                job.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "fund-option.ach-tokenization")
+public class AchTokenizationProperties {
+
+    /**
+     * Raw/tokenized pairs kept by {@link AchTokenMappingService}, least recently used evicted first.
+     */
+    @PositiveOrZero
+    private int cacheSize = 10_000;
+
+    /**
+     * How long a cached pair is trusted; pairs rewritten by fund_ach_information_update_function
+     * can be served stale for up to this long.
+     */
+    @NotNull
+    private Duration cacheTtl = Duration.ofMinutes(5);
+
+    @Valid
+    private Backfill backfill = new Backfill();
+
+    @EqualsAndHashCode(callSuper = true)
+    @Data
+    public static class Backfill extends BoundedTransactionProperties {
+
+        /**
+         * Run {@link AchInformationBackfillJob} once on startup.
+         */
+        private boolean enabled = false;
+
+        /**
+         * fund_ach_information ids covered per transaction.
+         */
+        @Positive
+        private int batchSize = 10_000;
+    }
+}
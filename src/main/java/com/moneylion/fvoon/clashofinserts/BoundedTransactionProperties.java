@@ -0,0 +1,25 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Limits of the short transactions a batch job runs against a live table, see {@link BoundedTransactionTemplate}.
+ */
+@Data
+public class BoundedTransactionProperties {
+
+    /**
+     * How long a statement waits for a row lock held by application writes before the batch fails.
+     */
+    @NotNull
+    private Duration lockTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Rounded up to whole seconds.
+     */
+    @NotNull
+    private Duration transactionTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,36 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Runs each callback in its own transaction with the lock and transaction timeouts of
+ * {@link BoundedTransactionProperties}, so a batch job gives up instead of queueing behind application writes.
+ */
+class BoundedTransactionTemplate extends TransactionTemplate {
+
+    private final transient JdbcTemplate jdbcTemplate;
+    private final Duration lockTimeout;
+
+    BoundedTransactionTemplate(PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate,
+                               BoundedTransactionProperties properties) {
+        super(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+        this.lockTimeout = properties.getLockTimeout();
+        setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
+        setTimeout((int) Math.max(1, (properties.getTransactionTimeout().toMillis() + 999) / 1000));
+    }
+
+    @Override
+    public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+        return super.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+            return action.doInTransaction(status);
+        });
+    }
+}
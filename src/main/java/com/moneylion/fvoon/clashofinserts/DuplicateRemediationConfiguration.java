@@ -0,0 +1,23 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(DuplicateRemediationProperties.class)
+public class DuplicateRemediationConfiguration {
+
+    /**
+     * Registered even when disabled, see the README on Spring AOT.
+     */
+    @Bean
+    ApplicationRunner duplicateRemediationRunner(FundOptionDuplicateRemediationJob job, DuplicateRemediationProperties properties) {
+        return args -> {
+            if (properties.isEnabled()) {
+                job.run();
+            }
+        };
+    }
+}
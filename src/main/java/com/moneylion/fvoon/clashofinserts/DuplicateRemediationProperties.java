@@ -0,0 +1,51 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Validated
+@ConfigurationProperties(prefix = "fund-option.duplicate-remediation")
+public class DuplicateRemediationProperties extends BoundedTransactionProperties {
+
+    /**
+     * Run the job once on startup.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Only report the duplicate groups, change nothing.
+     */
+    private boolean dryRun = true;
+
+    @NotNull
+    private SurvivorPolicy survivorPolicy = SurvivorPolicy.OLDEST;
+
+    /**
+     * Number of user_id hash ranges the table is split into.
+     */
+    @Positive
+    private int partitions = 64;
+
+    /**
+     * Hash ranges scanned concurrently.
+     */
+    @Positive
+    private int parallelism = 4;
+
+    /**
+     * Duplicate groups remediated per transaction.
+     */
+    @Positive
+    private int batchSize = 500;
+
+    /**
+     * Only remediate this user's fund options; all users when unset.
+     */
+    private String userId;
+}
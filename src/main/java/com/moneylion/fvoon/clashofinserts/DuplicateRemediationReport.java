@@ -0,0 +1,36 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class DuplicateRemediationReport {
+
+    private final boolean dryRun;
+    private final SurvivorPolicy survivorPolicy;
+    private final List<DuplicateGroup> groups = new ArrayList<>();
+    private int disabledRows;
+    private int repointedAchRows;
+
+    @Data
+    @AllArgsConstructor
+    public static class DuplicateGroup {
+        private String userId;
+        private FundOptionTypes type;
+        private Long survivorId;
+        private List<Long> loserIds;
+    }
+
+    public int getDuplicateRows() {
+        return groups.stream().mapToInt(group -> group.getLoserIds().size()).sum();
+    }
+
+    synchronized void merge(DuplicateRemediationReport partition) {
+        this.groups.addAll(partition.getGroups());
+        this.disabledRows += partition.getDisabledRows();
+        this.repointedAchRows += partition.getRepointedAchRows();
+    }
+}
@@ -0,0 +1,27 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Keeps the insert path eager when {@code spring.main.lazy-initialization} is on,
+ * so the first fund option write does not pay for the Hibernate bootstrap.
+ */
+@Configuration(proxyBeanMethods = false)
+public class FastStartConfiguration {
+
+    @Bean
+    static LazyInitializationExcludeFilter insertPathLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class,
+                EntityManagerFactory.class,
+                PlatformTransactionManager.class,
+                FundOptionRepository.class,
+                FundService.class);
+    }
+}
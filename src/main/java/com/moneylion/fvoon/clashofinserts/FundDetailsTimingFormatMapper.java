@@ -0,0 +1,44 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.hibernate.type.format.FormatMapper;
+import org.hibernate.type.format.jackson.JacksonJsonFormatMapper;
+
+/**
+ * Hibernate's default Jackson format mapper, adding up the serialization time of a fund option write.
+ * Hibernate serializes more than once per write (snapshot copy and bind), so the total is reported as a single
+ * {@link FundOptionWriteEvents.Serialization} event when the flush ends.
+ */
+public class FundDetailsTimingFormatMapper implements FormatMapper {
+
+    private final FormatMapper delegate;
+
+    public FundDetailsTimingFormatMapper() {
+        this(new JacksonJsonFormatMapper());
+    }
+
+    public FundDetailsTimingFormatMapper(FormatMapper delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public <T> T fromString(CharSequence charSequence, JavaType<T> javaType, WrapperOptions wrapperOptions) {
+        return delegate.fromString(charSequence, javaType, wrapperOptions);
+    }
+
+    @Override
+    public <T> String toString(T value, JavaType<T> javaType, WrapperOptions wrapperOptions) {
+        FundOptionWriteContext context = FundOptionWriteContext.current();
+        if (context == null) {
+            return delegate.toString(value, javaType, wrapperOptions);
+        }
+
+        long start = System.nanoTime();
+        try {
+            return delegate.toString(value, javaType, wrapperOptions);
+        } finally {
+            context.addSerialization(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Finds fund options that slipped past {@code fund_option_constraint_check_function} and
+ * {@code fund_option_duplicate_active_investment_check_function} under READ COMMITTED, keeps one
+ * survivor per duplicate group and disables the rest, moving their fund_ach_information rows to the survivor.
+ * <p>
+ * The table is scanned in user_id hash ranges in parallel and every batch is remediated in its own short
+ * transaction, so the job can run against a live table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FundOptionDuplicateRemediationJob {
+
+    /**
+     * Same matching rules as the insert triggers: active rows of the same user with the same routing and account
+     * number for ACH, or the same identifier for ML_ACTIVE_INVESTMENT. The trigger compares with {@code =},
+     * so ACH rows missing either number never match anything.
+     */
+    private static final String FIND_DUPLICATES_SQL = """
+            SELECT id, survivor_id, user_id, type
+            FROM (
+                SELECT id, user_id, type,
+                       count(*) OVER duplicate_group AS group_size,
+                       first_value(id) OVER (duplicate_group ORDER BY %s) AS survivor_id
+                FROM fund_option
+                WHERE is_deleted = false
+                  AND is_disabled = false
+                  AND type IN ('ACH', 'ML_ACTIVE_INVESTMENT')
+                  AND hashtext(user_id) BETWEEN ? AND ?
+                  %s
+                  AND (type <> 'ACH' OR (details ->> 'bankRoutingNumber' IS NOT NULL AND details ->> 'bankAccountNumber' IS NOT NULL))
+                WINDOW duplicate_group AS (
+                    PARTITION BY user_id, type,
+                                 CASE WHEN type = 'ACH' THEN details ->> 'bankRoutingNumber' ELSE identifier END,
+                                 CASE WHEN type = 'ACH' THEN details ->> 'bankAccountNumber' END
+                )
+            ) candidates
+            WHERE group_size > 1
+              AND id <> survivor_id
+            ORDER BY survivor_id, id
+            """;
+
+    /**
+     * Re-checks both sides are still active, so a row changed since the scan is left for the next run. The surviving
+     * rows are locked first: without the lock a concurrent write could disable a survivor while its losers are being
+     * disabled, leaving the group with no active row.
+     */
+    private static final String REMEDIATE_SQL = """
+            WITH mapping AS (
+                SELECT loser_id, survivor_id
+                FROM unnest(?::bigint[], ?::bigint[]) AS m(loser_id, survivor_id)
+            ), survivors AS (
+                SELECT id
+                FROM fund_option
+                WHERE id IN (SELECT survivor_id FROM mapping)
+                  AND is_deleted = false
+                  AND is_disabled = false
+                FOR SHARE
+            ), disabled AS (
+                UPDATE fund_option fo
+                SET is_disabled = true
+                FROM mapping m
+                JOIN survivors s ON s.id = m.survivor_id
+                WHERE fo.id = m.loser_id
+                  AND fo.is_deleted = false
+                  AND fo.is_disabled = false
+                RETURNING fo.id AS loser_id, m.survivor_id
+            ), repointed AS (
+                UPDATE fund_ach_information a
+                SET fund_id = d.survivor_id
+                FROM disabled d
+                WHERE a.fund_id = d.loser_id
+                RETURNING a.id
+            )
+            SELECT (SELECT count(*) FROM disabled) AS disabled_rows,
+                   (SELECT count(*) FROM repointed) AS repointed_rows
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final DuplicateRemediationProperties properties;
+
+    public DuplicateRemediationReport run() {
+        return run(properties);
+    }
+
+    public DuplicateRemediationReport run(DuplicateRemediationProperties properties) {
+        DuplicateRemediationReport report = new DuplicateRemediationReport(properties.isDryRun(), properties.getSurvivorPolicy());
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getParallelism());
+        try {
+            List<Future<DuplicateRemediationReport>> futures = new ArrayList<>();
+            for (int partition = 0; partition < properties.getPartitions(); partition++) {
+                int current = partition;
+                futures.add(executor.submit(() -> remediatePartition(current, properties)));
+            }
+            for (Future<DuplicateRemediationReport> future : futures) {
+                report.merge(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Duplicate remediation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Duplicate remediation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (report.isDryRun()) {
+            report.getGroups().forEach(group -> log.info("Duplicate group: userIdHash={}, type={}, survivorId={}, loserIds={}",
+                    DigestUtils.sha256Hex(group.getUserId()), group.getType(), group.getSurvivorId(), group.getLoserIds()));
+        }
+        log.info("Duplicate remediation finished: dryRun={}, policy={}, groups={}, duplicates={}, disabled={}, repointedAch={}",
+                report.isDryRun(), report.getSurvivorPolicy(), report.getGroups().size(), report.getDuplicateRows(),
+                report.getDisabledRows(), report.getRepointedAchRows());
+        return report;
+    }
+
+    private DuplicateRemediationReport remediatePartition(int partition, DuplicateRemediationProperties properties) {
+        DuplicateRemediationReport report = new DuplicateRemediationReport(properties.isDryRun(), properties.getSurvivorPolicy());
+        report.getGroups().addAll(findDuplicateGroups(partition, properties));
+
+        if (properties.isDryRun()) {
+            return report;
+        }
+
+        TransactionTemplate transactionTemplate = new BoundedTransactionTemplate(transactionManager, jdbcTemplate, properties);
+
+        List<DuplicateRemediationReport.DuplicateGroup> groups = report.getGroups();
+        for (int from = 0; from < groups.size(); from += properties.getBatchSize()) {
+            List<DuplicateRemediationReport.DuplicateGroup> batch = groups.subList(from, Math.min(from + properties.getBatchSize(), groups.size()));
+            int[] counts = transactionTemplate.execute(status -> remediateBatch(batch));
+            report.setDisabledRows(report.getDisabledRows() + counts[0]);
+            report.setRepointedAchRows(report.getRepointedAchRows() + counts[1]);
+        }
+        log.debug("Remediated hash range {}: groups={}, disabled={}, repointedAch={}",
+                partition, groups.size(), report.getDisabledRows(), report.getRepointedAchRows());
+        return report;
+    }
+
+    private List<DuplicateRemediationReport.DuplicateGroup> findDuplicateGroups(int partition, DuplicateRemediationProperties properties) {
+        long span = (1L << 32) / properties.getPartitions();
+        long lower = Integer.MIN_VALUE + partition * span;
+        long upper = partition == properties.getPartitions() - 1 ? Integer.MAX_VALUE : lower + span - 1;
+
+        List<Object> args = new ArrayList<>(List.of((int) lower, (int) upper));
+        String userFilter = "";
+        if (properties.getUserId() != null) {
+            userFilter = "AND user_id = ?";
+            args.add(properties.getUserId());
+        }
+
+        Map<Long, DuplicateRemediationReport.DuplicateGroup> groups = new LinkedHashMap<>();
+        jdbcTemplate.query(FIND_DUPLICATES_SQL.formatted(properties.getSurvivorPolicy().getOrderBy(), userFilter),
+                rs -> {
+                    String userId = rs.getString("user_id");
+                    FundOptionTypes type = FundOptionTypes.valueOf(rs.getString("type"));
+                    groups.computeIfAbsent(rs.getLong("survivor_id"),
+                                    survivorId -> new DuplicateRemediationReport.DuplicateGroup(userId, type, survivorId, new ArrayList<>()))
+                            .getLoserIds().add(rs.getLong("id"));
+                },
+                args.toArray());
+        return new ArrayList<>(groups.values());
+    }
+
+    private int[] remediateBatch(List<DuplicateRemediationReport.DuplicateGroup> batch) {
+        List<Long> loserIds = new ArrayList<>();
+        List<Long> survivorIds = new ArrayList<>();
+        batch.forEach(group -> group.getLoserIds().forEach(loserId -> {
+            loserIds.add(loserId);
+            survivorIds.add(group.getSurvivorId());
+        }));
+
+        return jdbcTemplate.query(REMEDIATE_SQL,
+                ps -> {
+                    Array losers = ps.getConnection().createArrayOf("bigint", loserIds.toArray());
+                    Array survivors = ps.getConnection().createArrayOf("bigint", survivorIds.toArray());
+                    ps.setArray(1, losers);
+                    ps.setArray(2, survivors);
+                },
+                rs -> {
+                    rs.next();
+                    return new int[]{rs.getInt("disabled_rows"), rs.getInt("repointed_rows")};
+                });
+    }
+}
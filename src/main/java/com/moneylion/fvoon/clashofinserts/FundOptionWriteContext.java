@@ -0,0 +1,97 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Describes the fund option write running on the current thread, so the JFR phase events
+ * raised from Hibernate callbacks can be attributed to it.
+ */
+@Getter
+@RequiredArgsConstructor
+public class FundOptionWriteContext {
+
+    private static final ThreadLocal<FundOptionWriteContext> CURRENT = new ThreadLocal<>();
+
+    private final String userIdHash;
+    private final String fundType;
+
+    /**
+     * Statements that ran during the flush; Hibernate does not tell whether they failed, so they are committed
+     * with the outcome of the flush once it is known.
+     */
+    private final List<FundOptionWriteEvents.StatementExecution> pendingStatements = new ArrayList<>();
+    private long serializationNanos;
+    private int serializations;
+    private boolean flushed;
+
+    public static FundOptionWriteContext open(FundOption fundOption) {
+        FundOptionWriteContext context = new FundOptionWriteContext(
+                Optional.ofNullable(fundOption.getUserId()).map(DigestUtils::sha256Hex).orElse(null),
+                fundType(fundOption));
+        CURRENT.set(context);
+        return context;
+    }
+
+    /**
+     * {@link FundOption#getType()} throws for a missing or unknown type; that write has to fail in Hibernate,
+     * with its own error, not here.
+     */
+    private static String fundType(FundOption fundOption) {
+        try {
+            return fundOption.getType().getValue();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The write on this thread whose flush is still running, if any.
+     */
+    public static FundOptionWriteContext current() {
+        FundOptionWriteContext context = CURRENT.get();
+        return context == null || context.flushed ? null : context;
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    void addStatement(FundOptionWriteEvents.StatementExecution statement) {
+        pendingStatements.add(statement);
+    }
+
+    void addSerialization(long nanos) {
+        serializationNanos += nanos;
+        serializations++;
+    }
+
+    /**
+     * Commits the statement events and the summed serialization event with the outcome of the flush.
+     */
+    void flushed(String outcome) {
+        flushed = true;
+        for (FundOptionWriteEvents.StatementExecution statement : pendingStatements) {
+            if (statement.shouldCommit()) {
+                statement.describe(this, outcome);
+                statement.commit();
+            }
+        }
+        pendingStatements.clear();
+
+        if (serializations > 0) {
+            FundOptionWriteEvents.Serialization serialization = new FundOptionWriteEvents.Serialization();
+            if (serialization.shouldCommit()) {
+                serialization.serializationTime = serializationNanos;
+                serialization.calls = serializations;
+                serialization.describe(this, outcome);
+                serialization.commit();
+            }
+        }
+    }
+}
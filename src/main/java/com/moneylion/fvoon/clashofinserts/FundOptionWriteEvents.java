@@ -0,0 +1,91 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR events for the phases of {@link FundService#persistFundOption(FundOption)}.
+ * Settings live in {@code fund-option-write.jfc}, recordings are summarized by {@link FundOptionWriteRecordingAnalyzer}.
+ */
+public final class FundOptionWriteEvents {
+
+    public static final String OUTCOME_SUCCESS = "SUCCESS";
+    public static final String OUTCOME_FAILURE = "FAILURE";
+    public static final String OUTCOME_ROLLED_BACK = "ROLLED_BACK";
+
+    private FundOptionWriteEvents() {
+    }
+
+    @Category({"Clash of Inserts", "Fund Option Write"})
+    @StackTrace(false)
+    public abstract static class PhaseEvent extends Event {
+
+        @Label("User Id Hash")
+        @Description("SHA-256 of the user id, so recordings can be shared without exposing it")
+        public String userIdHash;
+
+        @Label("Fund Type")
+        public String fundType;
+
+        @Label("Outcome")
+        public String outcome;
+
+        void describe(FundOptionWriteContext context, String outcome) {
+            if (context != null) {
+                this.userIdHash = context.getUserIdHash();
+                this.fundType = context.getFundType();
+            }
+            this.outcome = outcome;
+        }
+    }
+
+    @Name(ConnectionAcquire.NAME)
+    @Label("Fund Option Connection Acquire")
+    @Description("JDBC connection acquisition from the pool")
+    public static class ConnectionAcquire extends PhaseEvent {
+        public static final String NAME = "com.moneylion.fvoon.clashofinserts.ConnectionAcquire";
+    }
+
+    @Name(Flush.NAME)
+    @Label("Fund Option Flush")
+    @Description("Hibernate persist and flush, encloses the serialization and statement events")
+    public static class Flush extends PhaseEvent {
+        public static final String NAME = "com.moneylion.fvoon.clashofinserts.Flush";
+    }
+
+    /**
+     * Emitted once per write without a duration of its own, the summed time is in {@link #serializationTime}.
+     */
+    @Name(Serialization.NAME)
+    @Label("Fund Details Serialization")
+    @Description("Jackson serialization of FundDetails into the jsonb column, summed over the write")
+    public static class Serialization extends PhaseEvent {
+        public static final String NAME = "com.moneylion.fvoon.clashofinserts.Serialization";
+
+        @Label("Serialization Time")
+        @Timespan(Timespan.NANOSECONDS)
+        public long serializationTime;
+
+        @Label("Calls")
+        public int calls;
+    }
+
+    @Name(StatementExecution.NAME)
+    @Label("Fund Option Statement Execution")
+    @Description("JDBC statement execution, including row level triggers, with the outcome of the enclosing flush")
+    public static class StatementExecution extends PhaseEvent {
+        public static final String NAME = "com.moneylion.fvoon.clashofinserts.StatementExecution";
+    }
+
+    @Name(Commit.NAME)
+    @Label("Fund Option Commit")
+    @Description("Transaction commit, where deferred constraint triggers and serializable checks fire")
+    public static class Commit extends PhaseEvent {
+        public static final String NAME = "com.moneylion.fvoon.clashofinserts.Commit";
+    }
+}
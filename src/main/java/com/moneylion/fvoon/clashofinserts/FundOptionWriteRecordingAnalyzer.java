@@ -0,0 +1,134 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Summarizes a JFR recording into per phase latency of fund option writes.
+ * <pre>
+ * java -cp clash-of-inserts.jar com.moneylion.fvoon.clashofinserts.FundOptionWriteRecordingAnalyzer fund-option-write.jfr
+ * </pre>
+ * Events shorter than their phase's threshold are never recorded, so counts and percentiles only describe the
+ * events at or above it; compare phases only when they were recorded with the same threshold.
+ */
+public class FundOptionWriteRecordingAnalyzer {
+
+    /**
+     * Phases in the order they happen during a write.
+     */
+    static final List<String> PHASES = List.of(
+            FundOptionWriteEvents.ConnectionAcquire.NAME,
+            FundOptionWriteEvents.Flush.NAME,
+            FundOptionWriteEvents.Serialization.NAME,
+            FundOptionWriteEvents.StatementExecution.NAME,
+            FundOptionWriteEvents.Commit.NAME);
+
+    private static final String ACTIVE_SETTING = "jdk.ActiveSetting";
+
+    @Data
+    @Builder
+    public static class PhaseSummary {
+        private String phase;
+        private String fundType;
+        /**
+         * As recorded in jdk.ActiveSetting, null when the recording did not include it.
+         */
+        private String threshold;
+        private int count;
+        private int failures;
+        private Duration p50;
+        private Duration p90;
+        private Duration p99;
+        private Duration max;
+        private Duration total;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: FundOptionWriteRecordingAnalyzer <recording.jfr>");
+            System.exit(1);
+        }
+
+        System.out.println("Only events at or above the threshold are recorded: count and percentiles cover those events, not every write.");
+        System.out.printf("%-20s %-24s %10s %8s %8s %10s %10s %10s %10s%n",
+                "phase", "fundType", "threshold", "count", "failed", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)");
+        for (PhaseSummary summary : summarize(Path.of(args[0]))) {
+            System.out.printf("%-20s %-24s %10s %8d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    summary.getPhase(), summary.getFundType(), Objects.requireNonNullElse(summary.getThreshold(), "unknown"),
+                    summary.getCount(), summary.getFailures(),
+                    toMillis(summary.getP50()), toMillis(summary.getP90()), toMillis(summary.getP99()), toMillis(summary.getMax()));
+        }
+    }
+
+    /**
+     * One summary per phase and fund type, phases in write order.
+     */
+    public static List<PhaseSummary> summarize(Path recording) throws IOException {
+        Map<String, Map<String, List<RecordedEvent>>> byPhaseAndFundType = new TreeMap<>(Comparator.comparingInt(PHASES::indexOf));
+        Map<Long, String> thresholdByEventTypeId = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            String phase = event.getEventType().getName();
+            if (ACTIVE_SETTING.equals(phase) && "threshold".equals(event.getString("name"))) {
+                thresholdByEventTypeId.put(event.getLong("id"), event.getString("value"));
+                continue;
+            }
+            if (!PHASES.contains(phase)) {
+                continue;
+            }
+            String fundType = Objects.requireNonNullElse(event.getString("fundType"), "UNKNOWN");
+            byPhaseAndFundType.computeIfAbsent(phase, p -> new TreeMap<>())
+                    .computeIfAbsent(fundType, t -> new ArrayList<>())
+                    .add(event);
+        }
+
+        List<PhaseSummary> summaries = new ArrayList<>();
+        byPhaseAndFundType.forEach((phase, byFundType) -> byFundType.forEach((fundType, events) -> {
+            List<Duration> durations = events.stream()
+                    .map(FundOptionWriteRecordingAnalyzer::phaseDuration)
+                    .sorted()
+                    .toList();
+            int failures = (int) events.stream()
+                    .filter(event -> !FundOptionWriteEvents.OUTCOME_SUCCESS.equals(event.getString("outcome")))
+                    .count();
+            summaries.add(PhaseSummary.builder()
+                    .phase(phase.substring(phase.lastIndexOf('.') + 1))
+                    .fundType(fundType)
+                    .threshold(thresholdByEventTypeId.get(events.get(0).getEventType().getId()))
+                    .count(durations.size())
+                    .failures(failures)
+                    .p50(percentile(durations, 50))
+                    .p90(percentile(durations, 90))
+                    .p99(percentile(durations, 99))
+                    .max(durations.get(durations.size() - 1))
+                    .total(durations.stream().reduce(Duration.ZERO, Duration::plus))
+                    .build());
+        }));
+        return summaries;
+    }
+
+    /**
+     * Serialization is summed over the write and carried in a field, every other phase is the event duration.
+     */
+    private static Duration phaseDuration(RecordedEvent event) {
+        if (FundOptionWriteEvents.Serialization.NAME.equals(event.getEventType().getName())) {
+            return event.getDuration("serializationTime");
+        }
+        return event.getDuration();
+    }
+
+    private static Duration percentile(List<Duration> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0));
+    }
+
+    private static double toMillis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks the fund option write JFR events into Hibernate.
+ */
+@Configuration(proxyBeanMethods = false)
+public class FundOptionWriteRecordingConfiguration {
+
+    @Bean
+    HibernatePropertiesCustomizer fundOptionWriteRecordingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, FundOptionWriteSessionListener.class.getName());
+            properties.put(AvailableSettings.JSON_FORMAT_MAPPER, new FundDetailsTimingFormatMapper());
+        };
+    }
+}
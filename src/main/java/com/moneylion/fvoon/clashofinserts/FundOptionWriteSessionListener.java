@@ -0,0 +1,72 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Turns Hibernate's JDBC callbacks into {@link FundOptionWriteEvents} while a fund option write is in progress.
+ * Registered per session through {@code hibernate.session.events.auto}.
+ */
+public class FundOptionWriteSessionListener implements SessionEventListener {
+
+    /**
+     * The connection is acquired when the transaction begins, before {@link FundService} opens the write context,
+     * so the event is held back until the first statement tells us whose write it was.
+     */
+    private transient FundOptionWriteEvents.ConnectionAcquire pendingAcquire;
+
+    private transient FundOptionWriteEvents.StatementExecution statement;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        pendingAcquire = new FundOptionWriteEvents.ConnectionAcquire();
+        pendingAcquire.begin();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        if (pendingAcquire != null) {
+            pendingAcquire.end();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        FundOptionWriteContext context = FundOptionWriteContext.current();
+        if (context == null) {
+            return;
+        }
+        commitPendingAcquire(context);
+        statement = new FundOptionWriteEvents.StatementExecution();
+        statement.begin();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        if (statement == null) {
+            return;
+        }
+        statement.end();
+        FundOptionWriteContext context = FundOptionWriteContext.current();
+        if (context != null) {
+            context.addStatement(statement);
+        }
+        statement = null;
+    }
+
+    @Override
+    public void transactionCompletion(boolean successful) {
+        pendingAcquire = null;
+        statement = null;
+    }
+
+    private void commitPendingAcquire(FundOptionWriteContext context) {
+        if (pendingAcquire == null) {
+            return;
+        }
+        if (pendingAcquire.shouldCommit()) {
+            pendingAcquire.describe(context, FundOptionWriteEvents.OUTCOME_SUCCESS);
+            pendingAcquire.commit();
+        }
+        pendingAcquire = null;
+    }
+}
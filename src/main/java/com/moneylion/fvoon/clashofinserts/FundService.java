@@ -3,15 +3,83 @@ package com.moneylion.fvoon.clashofinserts;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class FundService {
     private final FundOptionRepository fundOptionRepository;
+    private final AchInformationBulkWriter achInformationBulkWriter;
 
     //    @Transactional(propagation = Propagation.REQUIRES_NEW)
     @Transactional
     public FundOption persistFundOption(FundOption fundOption) {
-        return fundOptionRepository.saveAndFlush(fundOption);
+        FundOptionWriteContext context = FundOptionWriteContext.open(fundOption);
+        TransactionSynchronizationManager.registerSynchronization(new CommitRecorder(context));
+
+        FundOptionWriteEvents.Flush event = new FundOptionWriteEvents.Flush();
+        event.begin();
+        String outcome = FundOptionWriteEvents.OUTCOME_FAILURE;
+        try {
+            FundOption persisted = fundOptionRepository.saveAndFlush(fundOption);
+            outcome = FundOptionWriteEvents.OUTCOME_SUCCESS;
+            return persisted;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.describe(context, outcome);
+                event.commit();
+            }
+            context.flushed(outcome);
+        }
+    }
+
+    /**
+     * Bulk mode: fund_ach_information rows are written for the whole batch by {@link AchInformationBulkWriter}
+     * instead of row by row by fund_ach_information_insert_trigger. The duplicate check triggers still run per row.
+     */
+    @Transactional
+    public List<FundOption> persistFundOptions(List<FundOption> fundOptions) {
+        achInformationBulkWriter.skipInsertTrigger();
+        List<FundOption> persisted = fundOptionRepository.saveAllAndFlush(fundOptions);
+        // This may be joining a caller's transaction whose later inserts need the trigger. Not in a finally:
+        // after a failed flush the transaction is aborted, would reject the reset and is rolled back anyway.
+        achInformationBulkWriter.restoreInsertTrigger();
+        achInformationBulkWriter.insert(persisted);
+        return persisted;
+    }
+
+    /**
+     * Times the commit itself and ends the write context once the transaction completes.
+     */
+    @RequiredArgsConstructor
+    private static class CommitRecorder implements TransactionSynchronization {
+        private final FundOptionWriteContext context;
+        private final FundOptionWriteEvents.Commit event = new FundOptionWriteEvents.Commit();
+
+        @Override
+        public void beforeCompletion() {
+            event.begin();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            try {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.describe(context, switch (status) {
+                        case STATUS_COMMITTED -> FundOptionWriteEvents.OUTCOME_SUCCESS;
+                        case STATUS_ROLLED_BACK -> FundOptionWriteEvents.OUTCOME_ROLLED_BACK;
+                        default -> FundOptionWriteEvents.OUTCOME_FAILURE;
+                    });
+                    event.commit();
+                }
+            } finally {
+                FundOptionWriteContext.close();
+            }
+        }
     }
 }
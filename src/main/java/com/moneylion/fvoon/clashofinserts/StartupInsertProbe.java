@@ -0,0 +1,49 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+/**
+ * Writes one ACH fund option once the application is ready and logs the JVM uptime at that point,
+ * so StartupBenchmarkIT can measure time-to-first-successful-insert of the packaged jar.
+ * Off unless {@code clash-of-inserts.startup-probe.enabled=true}, checked on each event (see README, Fast-Start Launch).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupInsertProbe {
+
+    static final String ENABLED_PROPERTY = "clash-of-inserts.startup-probe.enabled";
+    static final String LOG_PREFIX = "Startup probe insert succeeded, process running for ";
+
+    private final FundService fundService;
+    private final Environment environment;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void insertOnReady() {
+        if (!environment.getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+            return;
+        }
+
+        String account = String.valueOf(System.nanoTime());
+        fundService.persistFundOption(FundOption.builder()
+                .userId("startup-probe-" + UUID.randomUUID())
+                .type(FundOptionTypes.ACH.getValue())
+                .details(FundDetails.builder()
+                        .bankRoutingNumber("1111")
+                        .bankAccountNumber(account)
+                        .build())
+                .identifier(account)
+                .isDeleted(false)
+                .isDisabled(false)
+                .build());
+        log.info(LOG_PREFIX + "{} ms", ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+}
@@ -0,0 +1,18 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Decides which fund option of a duplicate group stays active, as an ORDER BY over fund_option columns.
+ */
+@Getter
+@AllArgsConstructor
+public enum SurvivorPolicy {
+    OLDEST("created_at, id"),
+    NEWEST("created_at DESC, id DESC"),
+    MOST_RECENTLY_UPDATED("updated_at DESC, id DESC"),
+    VERIFIED_THEN_OLDEST("is_verified DESC NULLS LAST, created_at, id");
+
+    private final String orderBy;
+}
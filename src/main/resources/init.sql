@@ -57,6 +57,9 @@ CREATE INDEX idx_fund_option_identifier_type ON fund_option (identifier, type);
 CREATE INDEX idx_fund_option_details_account_routing_number ON fund_option ((details ->> 'bankAccountNumber'), (details ->> 'bankRoutingNumber'));
 CREATE INDEX idx_fund_option_updated_at ON fund_option (updated_at);
 CREATE INDEX idx_fund_option_account_number_trim_leading_zeros ON fund_option (ltrim(details ->> 'bankAccountNumber', '0'));
+-- hash range scans of FundOptionDuplicateRemediationJob
+CREATE INDEX idx_fund_option_user_id_hash_active ON fund_option (hashtext(user_id))
+    WHERE is_deleted = false AND is_disabled = false AND type IN ('ACH', 'ML_ACTIVE_INVESTMENT');
 
 -- 3. fund_ach_information table
 CREATE TABLE fund_ach_information (
@@ -310,10 +313,14 @@ RETURN NEW;
 END;
 $$ LANGUAGE plpgsql;
 
+-- skipped when the application writes the rows itself, see AchInformationBulkWriter
 CREATE TRIGGER fund_ach_information_insert_trigger
     AFTER INSERT ON fund_option
     FOR EACH ROW
-    WHEN (NEW.type = 'ACH')
+    WHEN (
+    NEW.type = 'ACH'
+    AND current_setting('clash_of_inserts.ach_information_writer', true) IS DISTINCT FROM 'application'
+)
     EXECUTE FUNCTION fund_ach_information_insert_function();
 
 -- ============================
@@ -0,0 +1,90 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.moneylion.fvoon.clashofinserts.FundOptionFixtures.achFundOption;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class AchInformationBulkInsertTests {
+
+	@Autowired
+	private FundService fundService;
+	@Autowired
+	private AchInformationBackfillJob backfillJob;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void bulkInsertResolvesTokenizedPairsWithoutTrigger() {
+		Long seeded = fundService.persistFundOption(achFundOption("bulk-seed", "111000111", "5550001234", "1234")).getId();
+		jdbcTemplate.update("UPDATE fund_ach_information SET tokenized_account_number = 'tkn-acct-a', tokenized_routing_number = 'tkn-rout-a' WHERE fund_id = ?", seeded);
+
+		List<FundOption> persisted = fundService.persistFundOptions(List.of(
+				achFundOption("bulk-raw", "111000111", "5550001234", "1234"),
+				achFundOption("bulk-tokenized", "tkn-rout-a", "tkn-acct-a", "1234"),
+				achFundOption("bulk-unknown", "222000222", "5559990000", "0000")));
+
+		Map<String, Object> raw = achInformation(persisted.get(0).getId());
+		assertEquals("5550001234", raw.get("account_number"));
+		assertEquals("tkn-acct-a", raw.get("tokenized_account_number"));
+		assertEquals("tkn-rout-a", raw.get("tokenized_routing_number"));
+
+		Map<String, Object> tokenized = achInformation(persisted.get(1).getId());
+		assertEquals("5550001234", tokenized.get("account_number"));
+		assertEquals("111000111", tokenized.get("routing_number"));
+		assertEquals("tkn-acct-a", tokenized.get("tokenized_account_number"));
+
+		Map<String, Object> unknown = achInformation(persisted.get(2).getId());
+		assertEquals("5559990000", unknown.get("account_number"));
+		assertNull(unknown.get("tokenized_account_number"));
+	}
+
+	@Test
+	void singleInsertAfterBulkInsertInSameTransactionGoesThroughTrigger() {
+		Long single = transactionTemplate.execute(status -> {
+			fundService.persistFundOptions(List.of(achFundOption("outer-bulk", "444000444", "5554440001", "0001")));
+			return fundService.persistFundOption(achFundOption("outer-single", "555000555", "5555550001", "0001")).getId();
+		});
+
+		Map<String, Object> written = achInformation(single);
+		assertEquals("5555550001", written.get("account_number"));
+		assertEquals("555000555", written.get("routing_number"));
+	}
+
+	@Test
+	void backfillFillsMissingCounterparts() {
+		Long first = fundService.persistFundOption(achFundOption("backfill-first", "333000333", "5557770001", "0001")).getId();
+		Long second = fundService.persistFundOption(achFundOption("backfill-second", "tkn-rout-b", "tkn-acct-b", "0001")).getId();
+		jdbcTemplate.update("UPDATE fund_ach_information SET tokenized_account_number = 'tkn-acct-b', tokenized_routing_number = 'tkn-rout-b' WHERE fund_id = ?", first);
+
+		backfillJob.run();
+
+		Map<String, Object> backfilled = achInformation(second);
+		assertEquals("5557770001", backfilled.get("account_number"));
+		assertEquals("333000333", backfilled.get("routing_number"));
+	}
+
+	/**
+	 * Also checks the insert trigger did not add a second row.
+	 */
+	private Map<String, Object> achInformation(Long fundId) {
+		return jdbcTemplate.queryForMap("SELECT * FROM fund_ach_information WHERE fund_id = ?", fundId);
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.moneylion.fvoon.clashofinserts.FundOptionFixtures.achFundOption;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class FundOptionDuplicateRemediationJobTests {
+
+	@Autowired
+	private FundService fundService;
+	@Autowired
+	private FundOptionDuplicateRemediationJob job;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void dryRunReportsDuplicatesWithoutChangingThem() {
+		String userId = "remediation-dry-run";
+		List<Long> ids = insertAchDuplicates(userId);
+
+		DuplicateRemediationProperties properties = new DuplicateRemediationProperties();
+		properties.setDryRun(true);
+		properties.setUserId(userId);
+		DuplicateRemediationReport report = job.run(properties);
+
+		DuplicateRemediationReport.DuplicateGroup group = onlyGroup(report, userId);
+		assertEquals(FundOptionTypes.ACH, group.getType());
+		assertEquals(ids.get(0), group.getSurvivorId());
+		assertEquals(List.of(ids.get(1)), group.getLoserIds());
+		assertEquals(0, report.getDisabledRows());
+		assertEquals(2, countActive(userId));
+	}
+
+	@Test
+	void disablesLosersAndRepointsAchInformation() {
+		String userId = "remediation-newest";
+		List<Long> ids = insertAchDuplicates(userId);
+
+		DuplicateRemediationProperties properties = new DuplicateRemediationProperties();
+		properties.setDryRun(false);
+		properties.setSurvivorPolicy(SurvivorPolicy.NEWEST);
+		properties.setPartitions(8);
+		properties.setBatchSize(1);
+		properties.setUserId(userId);
+		DuplicateRemediationReport report = job.run(properties);
+
+		DuplicateRemediationReport.DuplicateGroup group = onlyGroup(report, userId);
+		assertEquals(ids.get(1), group.getSurvivorId());
+		assertEquals(List.of(ids.get(0)), group.getLoserIds());
+		assertEquals(1, report.getDisabledRows());
+		assertEquals(1, report.getRepointedAchRows());
+		assertEquals(1, countActive(userId));
+		assertFalse(jdbcTemplate.queryForObject("SELECT is_disabled FROM fund_option WHERE id = ?", Boolean.class, ids.get(1)));
+		assertTrue(jdbcTemplate.queryForObject("SELECT is_disabled FROM fund_option WHERE id = ?", Boolean.class, ids.get(0)));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM fund_ach_information WHERE fund_id = ?", Integer.class, ids.get(0)));
+		assertEquals(2, jdbcTemplate.queryForObject("SELECT count(*) FROM fund_ach_information WHERE fund_id = ?", Integer.class, ids.get(1)));
+	}
+
+	/**
+	 * Recreates what READ COMMITTED let through: the first row is disabled while the second is inserted, then re-enabled.
+	 */
+	private List<Long> insertAchDuplicates(String userId) {
+		Long first = fundService.persistFundOption(achFundOption(userId)).getId();
+		jdbcTemplate.update("UPDATE fund_option SET is_disabled = true WHERE id = ?", first);
+		Long second = fundService.persistFundOption(achFundOption(userId)).getId();
+		jdbcTemplate.update("UPDATE fund_option SET is_disabled = false WHERE id = ?", first);
+		return List.of(first, second);
+	}
+
+	private DuplicateRemediationReport.DuplicateGroup onlyGroup(DuplicateRemediationReport report, String userId) {
+		assertEquals(1, report.getGroups().size());
+		DuplicateRemediationReport.DuplicateGroup group = report.getGroups().get(0);
+		assertEquals(userId, group.getUserId());
+		return group;
+	}
+
+	private int countActive(String userId) {
+		return jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM fund_option WHERE user_id = ? AND is_deleted = false AND is_disabled = false",
+				Integer.class, userId);
+	}
+
+}
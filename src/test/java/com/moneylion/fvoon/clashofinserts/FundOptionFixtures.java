@@ -0,0 +1,29 @@
+package com.moneylion.fvoon.clashofinserts;
+
+/**
+ * Active ACH fund options for the integration tests.
+ */
+final class FundOptionFixtures {
+
+	private FundOptionFixtures() {
+	}
+
+	static FundOption achFundOption(String userId) {
+		return achFundOption(userId, "1111", "2222", "2222");
+	}
+
+	static FundOption achFundOption(String userId, String routingNumber, String accountNumber, String identifier) {
+		return FundOption.builder()
+				.userId(userId)
+				.type(FundOptionTypes.ACH.getValue())
+				.details(FundDetails.builder()
+						.bankRoutingNumber(routingNumber)
+						.bankAccountNumber(accountNumber)
+						.build())
+				.identifier(identifier)
+				.isDeleted(false)
+				.isDisabled(false)
+				.build();
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.moneylion.fvoon.clashofinserts.FundOptionFixtures.achFundOption;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class FundOptionWriteEventsTests {
+
+	@Autowired
+	private FundService fundService;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void persistFundOptionEmitsEveryPhase() throws Exception {
+		String userId = "jfr-success";
+
+		Map<String, List<RecordedEvent>> events = record(() -> fundService.persistFundOption(achFundOption(userId)));
+
+		assertEquals(Set.copyOf(FundOptionWriteRecordingAnalyzer.PHASES), events.keySet());
+		assertEquals(1, events.get(FundOptionWriteEvents.Flush.NAME).size());
+		assertEquals(1, events.get(FundOptionWriteEvents.Serialization.NAME).size());
+		assertEquals(1, events.get(FundOptionWriteEvents.Commit.NAME).size());
+		events.values().stream().flatMap(List::stream).forEach(event -> {
+			assertEquals(DigestUtils.sha256Hex(userId), event.getString("userIdHash"));
+			assertEquals(FundOptionTypes.ACH.getValue(), event.getString("fundType"));
+			assertEquals(FundOptionWriteEvents.OUTCOME_SUCCESS, event.getString("outcome"));
+		});
+		assertTrue(events.get(FundOptionWriteEvents.Serialization.NAME).get(0).getInt("calls") >= 1);
+	}
+
+	@Test
+	void duplicateInsertIsRecordedAsFailure() throws Exception {
+		String userId = "jfr-duplicate";
+		fundService.persistFundOption(achFundOption(userId));
+
+		Map<String, List<RecordedEvent>> events = record(() -> assertThrows(Exception.class,
+				() -> fundService.persistFundOption(achFundOption(userId))));
+
+		assertEquals(FundOptionWriteEvents.OUTCOME_FAILURE,
+				events.get(FundOptionWriteEvents.Flush.NAME).get(0).getString("outcome"));
+		assertEquals(FundOptionWriteEvents.OUTCOME_FAILURE,
+				events.get(FundOptionWriteEvents.StatementExecution.NAME).get(0).getString("outcome"));
+		assertEquals(FundOptionWriteEvents.OUTCOME_ROLLED_BACK,
+				events.get(FundOptionWriteEvents.Commit.NAME).get(0).getString("outcome"));
+	}
+
+	@Test
+	void missingTypeFailsInTheWriteNotTheInstrumentation() throws Exception {
+		FundOption fundOption = FundOption.builder()
+				.userId("jfr-missing-type")
+				.identifier("2222")
+				.isDeleted(false)
+				.isDisabled(false)
+				.build();
+
+		Map<String, List<RecordedEvent>> events = record(() -> assertThrows(DataIntegrityViolationException.class,
+				() -> fundService.persistFundOption(fundOption)));
+
+		assertNull(events.get(FundOptionWriteEvents.Flush.NAME).get(0).getString("fundType"));
+		assertEquals(FundOptionWriteEvents.OUTCOME_FAILURE,
+				events.get(FundOptionWriteEvents.Flush.NAME).get(0).getString("outcome"));
+	}
+
+	private Map<String, List<RecordedEvent>> record(Runnable write) throws Exception {
+		Path file = tempDir.resolve("fund-option-write.jfr");
+		try (Recording recording = new Recording()) {
+			FundOptionWriteRecordingAnalyzer.PHASES.forEach(phase -> recording.enable(phase).withoutThreshold());
+			recording.start();
+			write.run();
+			recording.stop();
+			recording.dump(file);
+		}
+		return RecordingFile.readAllEvents(file).stream()
+				.collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class FundOptionWriteRecordingAnalyzerTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void summarizesPhasesPerFundType() throws Exception {
+		FundOptionWriteContext ach = new FundOptionWriteContext("hash", FundOptionTypes.ACH.getValue());
+		Path file = tempDir.resolve("fund-option-write.jfr");
+
+		try (Recording recording = new Recording()) {
+			FundOptionWriteRecordingAnalyzer.PHASES.forEach(phase -> recording.enable(phase).withoutThreshold());
+			recording.enable("jdk.ActiveSetting");
+			recording.start();
+
+			for (int i = 0; i < 3; i++) {
+				FundOptionWriteEvents.Flush flush = new FundOptionWriteEvents.Flush();
+				flush.begin();
+				FundOptionWriteEvents.StatementExecution statement = new FundOptionWriteEvents.StatementExecution();
+				statement.begin();
+				statement.end();
+				statement.describe(ach, FundOptionWriteEvents.OUTCOME_SUCCESS);
+				statement.commit();
+				flush.end();
+				flush.describe(ach, i == 0 ? FundOptionWriteEvents.OUTCOME_FAILURE : FundOptionWriteEvents.OUTCOME_SUCCESS);
+				flush.commit();
+			}
+
+			FundOptionWriteEvents.Serialization serialization = new FundOptionWriteEvents.Serialization();
+			serialization.serializationTime = Duration.ofMillis(7).toNanos();
+			serialization.calls = 2;
+			serialization.describe(ach, FundOptionWriteEvents.OUTCOME_SUCCESS);
+			serialization.commit();
+
+			FundOptionWriteEvents.Commit commit = new FundOptionWriteEvents.Commit();
+			commit.begin();
+			commit.end();
+			commit.describe(null, FundOptionWriteEvents.OUTCOME_ROLLED_BACK);
+			commit.commit();
+
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<FundOptionWriteRecordingAnalyzer.PhaseSummary> summaries = FundOptionWriteRecordingAnalyzer.summarize(file);
+
+		assertEquals(4, summaries.size());
+		assertEquals("Flush", summaries.get(0).getPhase());
+		assertEquals("ACH", summaries.get(0).getFundType());
+		assertEquals(3, summaries.get(0).getCount());
+		assertEquals(1, summaries.get(0).getFailures());
+		assertNotNull(summaries.get(0).getThreshold());
+		assertEquals("Serialization", summaries.get(1).getPhase());
+		assertEquals(Duration.ofMillis(7), summaries.get(1).getMax());
+		assertEquals("StatementExecution", summaries.get(2).getPhase());
+		assertEquals(0, summaries.get(2).getFailures());
+		assertEquals("Commit", summaries.get(3).getPhase());
+		assertEquals("UNKNOWN", summaries.get(3).getFundType());
+		assertEquals(1, summaries.get(3).getFailures());
+	}
+
+}
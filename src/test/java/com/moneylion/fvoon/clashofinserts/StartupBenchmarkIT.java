@@ -0,0 +1,110 @@
+package com.moneylion.fvoon.clashofinserts;
+
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cold start benchmark of the fast-start packaging, run by failsafe after the jar and CDS archive are built:
+ * <pre>
+ * ./mvnw -Pfast-start verify
+ * </pre>
+ * The packaged jar is launched as a child process with {@code -Xshare:on}, so a CDS archive that does not match
+ * the classpath fails the run instead of being ignored. Both times are JVM uptime of the child process.
+ */
+@Testcontainers
+class StartupBenchmarkIT {
+
+	private static final Pattern READY = Pattern.compile("Started ClashOfInsertsApplication in [0-9.]+ seconds \\(process running for ([0-9.]+)\\)");
+	private static final Pattern FIRST_INSERT = Pattern.compile(Pattern.quote(StartupInsertProbe.LOG_PREFIX) + "(\\d+) ms");
+
+	@Container
+	private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15"))
+			.withInitScript("init.sql");
+
+	@Test
+	void timeToReadyAndFirstInsert() throws Exception {
+		Path directory = Path.of(System.getProperty("fast-start.directory", "target/fast-start")).toAbsolutePath();
+		Path jar = directory.resolve(System.getProperty("fast-start.jar", "clash-of-inserts-0.0.1-SNAPSHOT.jar"));
+		Path archive = directory.resolve("application.jsa");
+		assertTrue(Files.exists(jar) && Files.exists(archive), "run ./mvnw -Pfast-start package first");
+
+		Process process = new ProcessBuilder(
+				Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+				"-Xshare:on",
+				"-XX:SharedArchiveFile=" + archive,
+				"-Dspring.aot.enabled=true",
+				"-Dspring.profiles.active=fast-start",
+				"-jar", jar.toString(),
+				"--spring.datasource.url=" + postgres.getJdbcUrl(),
+				"--spring.datasource.username=" + postgres.getUsername(),
+				"--spring.datasource.password=" + postgres.getPassword(),
+				"--server.port=0",
+				"--" + StartupInsertProbe.ENABLED_PROPERTY + "=true")
+				.redirectErrorStream(true)
+				.start();
+
+		List<String> output = new CopyOnWriteArrayList<>();
+		ExecutorService outputReader = Executors.newSingleThreadExecutor();
+		StartupTimes times;
+		try {
+			Future<StartupTimes> startup = outputReader.submit(() -> readStartupTimes(process, output));
+			times = startup.get(2, TimeUnit.MINUTES);
+		} catch (TimeoutException e) {
+			throw new AssertionError("no startup probe insert within 2 minutes:\n" + String.join("\n", output), e);
+		} finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+			}
+			outputReader.shutdownNow();
+		}
+
+		assertNotNull(times.readyMillis(), () -> "application never became ready:\n" + String.join("\n", output));
+		assertNotNull(times.firstInsertMillis(), () -> "startup probe insert never succeeded:\n" + String.join("\n", output));
+
+		System.out.println("Time to ready (ms): " + Math.round(times.readyMillis()));
+		System.out.println("Time to first successful insert (ms): " + times.firstInsertMillis());
+	}
+
+	private record StartupTimes(Double readyMillis, Long firstInsertMillis) {
+	}
+
+	/**
+	 * Reads the child output until the probe insert is logged or the process exits.
+	 */
+	private static StartupTimes readStartupTimes(Process process, List<String> output) throws IOException {
+		Double readyMillis = null;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				output.add(line);
+				Matcher ready = READY.matcher(line);
+				if (ready.find()) {
+					readyMillis = Double.parseDouble(ready.group(1)) * 1000;
+				}
+				Matcher firstInsert = FIRST_INSERT.matcher(line);
+				if (firstInsert.find()) {
+					return new StartupTimes(readyMillis, Long.parseLong(firstInsert.group(1)));
+				}
+			}
+		}
+		return new StartupTimes(readyMillis, null);
+	}
+
+}